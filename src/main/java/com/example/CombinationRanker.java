@@ -0,0 +1,95 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Best-first enumeration over the combination lattice of several option dimensions.
+ * Each dimension holds the costs of its values sorted ascending; a combination costs the sum
+ * of its picked values. The k cheapest combinations are found without generating the rest.
+ */
+public final class CombinationRanker {
+
+    private CombinationRanker() {
+    }
+
+    /**
+     * Return the display index tuples of the k cheapest combinations, cheapest first.
+     * Ties are returned in lexicographic display order, so all-zero costs reproduce display order.
+     *
+     * @param costs   per dimension, the value costs sorted ascending; equal costs must be in display order
+     * @param display per dimension, the display index of the value at each cost rank
+     * @param k       maximum number of combinations to return
+     */
+    public static List<int[]> topK(double[][] costs, int[][] display, int k) {
+        List<int[]> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        for (double[] dimension : costs) {
+            if (dimension.length == 0) {
+                return result;
+            }
+        }
+
+        PriorityQueue<Node> queue = new PriorityQueue<>();
+        int[] start = new int[costs.length];
+        queue.add(new Node(start, 0, cost(costs, start), displayIndices(display, start)));
+
+        while (!queue.isEmpty() && result.size() < k) {
+            Node node = queue.poll();
+            result.add(node.display);
+
+            // Only bump dimensions at or after the last bumped one, so every tuple has exactly one parent.
+            // A parent never costs more than its child, and at equal cost it comes first in display order,
+            // because equal costs within a dimension are ranked in display order.
+            for (int d = node.pivot; d < costs.length; d++) {
+                int next = node.indices[d] + 1;
+                if (next < costs[d].length) {
+                    int[] indices = Arrays.copyOf(node.indices, node.indices.length);
+                    indices[d] = next;
+                    queue.add(new Node(indices, d, cost(costs, indices), displayIndices(display, indices)));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double cost(double[][] costs, int[] indices) {
+        double sum = 0;
+        for (int d = 0; d < indices.length; d++) {
+            sum += costs[d][indices[d]];
+        }
+        return sum;
+    }
+
+    private static int[] displayIndices(int[][] display, int[] indices) {
+        int[] result = new int[indices.length];
+        for (int d = 0; d < indices.length; d++) {
+            result[d] = display[d][indices[d]];
+        }
+        return result;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final int[] indices;
+        private final int pivot;
+        private final double cost;
+        private final int[] display;
+
+        private Node(int[] indices, int pivot, double cost, int[] display) {
+            this.indices = indices;
+            this.pivot = pivot;
+            this.cost = cost;
+            this.display = display;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int byCost = Double.compare(cost, other.cost);
+            return byCost != 0 ? byCost : Arrays.compare(display, other.display);
+        }
+    }
+}
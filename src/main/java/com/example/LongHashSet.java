@@ -0,0 +1,61 @@
+package com.example;
+
+/**
+ * Open addressing hash set of primitive longs, avoids boxing ids while scanning option trees
+ */
+public final class LongHashSet {
+    private long[] table;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        table = new long[capacity];
+    }
+
+    /**
+     * @return true if the value was not yet in the set
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            // 0 marks an empty slot, so it is tracked separately
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+        return insert(table, value);
+    }
+
+    private boolean insert(long[] slots, long value) {
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+        return true;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        size = 0;
+        for (long value : old) {
+            if (value != 0) {
+                insert(table, value);
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,198 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over option settings of many products.
+ * Maps an option field name and value name (e.g. Color=Red) to the SKUs that carry it.
+ * Postings are kept per product as a bitmap over the SKU ordinal, i.e. the index of the
+ * setting in ProductOption.optionSettings, so AND/OR queries are bitmap intersections/unions.
+ * The settings are captured when a product is indexed; re-index it after regenerating its option settings.
+ */
+public class OptionSearchIndex {
+    // field name -> value name -> product code -> SKU ordinals
+    private final Map<String, Map<String, Map<String, BitSet>>> postings = new HashMap<>();
+    // product code -> option settings as they were when indexed, so ordinals stay aligned
+    private final Map<String, List<OptionSetting>> settingsByProduct = new HashMap<>();
+    // product code -> field name -> value names the product has postings under
+    private final Map<String, Map<String, List<String>>> keysByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add the product's option settings to the index, replacing any earlier version of the product
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getProductCode());
+            ProductOption productOption = product.getProductOption();
+            if (productOption == null || productOption.getOptionFields() == null
+                    || productOption.getOptionSettings() == null) {
+                return;
+            }
+
+            // Resolve pid/sid to their names once per product
+            Map<Long, String> fieldNames = new HashMap<>();
+            Map<Long, String> valueNames = new HashMap<>();
+            for (OptionField field : productOption.getOptionFields()) {
+                fieldNames.put(field.getPid(), field.getName());
+                for (OptionValue value : field.getValues()) {
+                    valueNames.put(value.getSid(), value.getName());
+                }
+            }
+
+            // field name -> value name -> SKU ordinals of this product
+            Map<String, Map<String, BitSet>> productPostings = new HashMap<>();
+            List<OptionSetting> settings = productOption.getOptionSettings();
+            for (int ordinal = 0; ordinal < settings.size(); ordinal++) {
+                for (OptionFieldValue fieldValue : settings.get(ordinal).getFields()) {
+                    String fieldName = fieldNames.get(fieldValue.getPid());
+                    String valueName = valueNames.get(fieldValue.getSid());
+                    if (fieldName == null || valueName == null) {
+                        continue;
+                    }
+                    productPostings.computeIfAbsent(fieldName, key -> new HashMap<>())
+                            .computeIfAbsent(valueName, key -> new BitSet())
+                            .set(ordinal);
+                }
+            }
+
+            Map<String, List<String>> keys = new HashMap<>();
+            productPostings.forEach((fieldName, values) -> values.forEach((valueName, ordinals) -> {
+                postings.computeIfAbsent(fieldName, key -> new HashMap<>())
+                        .computeIfAbsent(valueName, key -> new HashMap<>())
+                        .put(product.getProductCode(), ordinals);
+                keys.computeIfAbsent(fieldName, key -> new ArrayList<>()).add(valueName);
+            }));
+            settingsByProduct.put(product.getProductCode(), new ArrayList<>(settings));
+            keysByProduct.put(product.getProductCode(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all SKUs of the product from the index
+     */
+    public void remove(String productCode) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productCode);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(String productCode) {
+        Map<String, List<String>> keys = keysByProduct.remove(productCode);
+        if (keys != null) {
+            keys.forEach((fieldName, valueNames) -> {
+                Map<String, Map<String, BitSet>> values = postings.get(fieldName);
+                for (String valueName : valueNames) {
+                    Map<String, BitSet> posting = values.get(valueName);
+                    posting.remove(productCode);
+                    if (posting.isEmpty()) {
+                        values.remove(valueName);
+                    }
+                }
+                if (values.isEmpty()) {
+                    postings.remove(fieldName);
+                }
+            });
+        }
+        settingsByProduct.remove(productCode);
+    }
+
+    /**
+     * Find SKUs matching every field=value pair, e.g. Color=Red AND Size=M
+     *
+     * @return product code -> matching SKU ordinals
+     */
+    public Map<String, BitSet> matchAll(Map<String, String> criteria) {
+        return match(toFacets(criteria));
+    }
+
+    /**
+     * Find SKUs matching any of the values of every field, e.g. (Color=Red OR Color=Blue) AND Size=M
+     *
+     * @return product code -> matching SKU ordinals
+     */
+    public Map<String, BitSet> match(Map<String, ? extends Collection<String>> facets) {
+        lock.readLock().lock();
+        try {
+            return matchInternal(facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, BitSet> matchInternal(Map<String, ? extends Collection<String>> facets) {
+        // OR the values of each facet
+        List<Map<String, BitSet>> facetMatches = new ArrayList<>();
+        for (Map.Entry<String, ? extends Collection<String>> facet : facets.entrySet()) {
+            Map<String, Map<String, BitSet>> values = postings.getOrDefault(facet.getKey(), Collections.emptyMap());
+            Map<String, BitSet> union = new HashMap<>();
+            for (String valueName : facet.getValue()) {
+                values.getOrDefault(valueName, Collections.emptyMap()).forEach((productCode, ordinals) ->
+                        union.computeIfAbsent(productCode, key -> new BitSet()).or(ordinals));
+            }
+            if (union.isEmpty()) {
+                return new HashMap<>();
+            }
+            facetMatches.add(union);
+        }
+        if (facetMatches.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        // AND the facets, driving from the one that spans the fewest products
+        facetMatches.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Map<String, BitSet> result = facetMatches.get(0);
+        for (int i = 1; i < facetMatches.size() && !result.isEmpty(); i++) {
+            Map<String, BitSet> other = facetMatches.get(i);
+            result.entrySet().removeIf(entry -> {
+                BitSet ordinals = other.get(entry.getKey());
+                if (ordinals == null) {
+                    return true;
+                }
+                entry.getValue().and(ordinals);
+                return entry.getValue().isEmpty();
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Resolve the matches of {@link #matchAll(Map)} to the option settings of the indexed products
+     */
+    public List<OptionSetting> findSettings(Map<String, String> criteria) {
+        Map<String, Collection<String>> facets = toFacets(criteria);
+        List<OptionSetting> result = new ArrayList<>();
+        // Match and resolve under one lock so a concurrent re-index cannot misalign the ordinals
+        lock.readLock().lock();
+        try {
+            matchInternal(facets).forEach((productCode, ordinals) -> {
+                List<OptionSetting> settings = settingsByProduct.get(productCode);
+                ordinals.stream().forEach(ordinal -> result.add(settings.get(ordinal)));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private static Map<String, Collection<String>> toFacets(Map<String, String> criteria) {
+        Map<String, Collection<String>> facets = new LinkedHashMap<>();
+        criteria.forEach((field, value) -> facets.put(field, Collections.singletonList(value)));
+        return facets;
+    }
+}
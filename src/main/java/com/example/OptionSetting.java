@@ -13,4 +13,11 @@ import java.util.List;
 public class OptionSetting {
     private String skuCode;
     private List<OptionFieldValue> fields;
+
+    /**
+     * Compile the fields into an immutable key for fast hashing and comparison
+     */
+    public OptionSettingKey toKey() {
+        return OptionSettingKey.of(this);
+    }
 }
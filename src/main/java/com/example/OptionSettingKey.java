@@ -0,0 +1,74 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable key compiled from the fields of an OptionSetting.
+ * The pid/sid pairs are packed into a long array and the hash code is computed once,
+ * so keys are cheap to hash, compare and use in sets and maps when deduplicating settings.
+ * Two settings with the same fields in the same order have equal keys, regardless of their SKU code.
+ */
+public final class OptionSettingKey implements Comparable<OptionSettingKey> {
+    // Stands in for a missing pid/sid
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private final long[] ids;
+    private final int hash;
+
+    private OptionSettingKey(long[] ids) {
+        this.ids = ids;
+        this.hash = Arrays.hashCode(ids);
+    }
+
+    public static OptionSettingKey of(OptionSetting setting) {
+        List<OptionFieldValue> fields = setting.getFields();
+        if (fields == null) {
+            return new OptionSettingKey(new long[0]);
+        }
+        long[] ids = new long[fields.size() * 2];
+        for (int i = 0; i < fields.size(); i++) {
+            OptionFieldValue field = fields.get(i);
+            ids[2 * i] = field.getPid() == null ? NULL_ID : field.getPid();
+            ids[2 * i + 1] = field.getSid() == null ? NULL_ID : field.getSid();
+        }
+        return new OptionSettingKey(ids);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OptionSettingKey)) {
+            return false;
+        }
+        OptionSettingKey other = (OptionSettingKey) o;
+        return hash == other.hash && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Lexicographic by pid/sid pairs
+     */
+    @Override
+    public int compareTo(OptionSettingKey other) {
+        return Arrays.compare(ids, other.ids);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("OptionSettingKey(");
+        for (int i = 0; i < ids.length; i += 2) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(ids[i]).append(": ").append(ids[i + 1]);
+        }
+        return builder.append(')').toString();
+    }
+}
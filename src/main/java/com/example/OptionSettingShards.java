@@ -0,0 +1,71 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a product's combination space into contiguous shards that workers can generate independently.
+ * Shard i covers the ordinals [bounds[i], bounds[i + 1]) of the sequence generateOptionSettings produces,
+ * and shard sizes differ by at most one.
+ */
+public final class OptionSettingShards {
+
+    private OptionSettingShards() {
+    }
+
+    /**
+     * Shard boundaries over total combinations; the result has shardCount + 1 entries
+     */
+    public static long[] bounds(long total, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        long[] bounds = new long[shardCount + 1];
+        long base = total / shardCount;
+        long extra = total % shardCount;
+        for (int i = 0; i < shardCount; i++) {
+            bounds[i + 1] = bounds[i] + base + (i < extra ? 1 : 0);
+        }
+        return bounds;
+    }
+
+    /**
+     * Generate the option settings of one shard only
+     */
+    public static List<OptionSetting> generateShard(ProductOption productOption, String productCode,
+                                                    int shardIndex, int shardCount) {
+        long[] bounds = bounds(productOption.combinationCount(), shardCount);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IndexOutOfBoundsException("Shard " + shardIndex + " out of range [0, " + shardCount + ")");
+        }
+        return productOption.generateOptionSettingRange(productCode, bounds[shardIndex], bounds[shardIndex + 1]);
+    }
+
+    /**
+     * Concatenate shards given in shard order
+     */
+    public static List<OptionSetting> merge(List<List<OptionSetting>> shards) {
+        List<OptionSetting> merged = new ArrayList<>();
+        shards.forEach(merged::addAll);
+        return merged;
+    }
+
+    /**
+     * Check that the shards, in shard order, are exactly what sequential generation produces
+     */
+    public static boolean verify(ProductOption productOption, String productCode, List<List<OptionSetting>> shards) {
+        // Generate on copies so the caller's option fields are not re-sorted
+        ProductOption sequential = ProductOption.builder()
+                .optionFields(productOption.getOptionFields() == null ? null
+                        : productOption.getOptionFields().stream()
+                                .map(field -> new OptionField(field.getPid(), field.getName(), field.getOrder(),
+                                        field.getValues()))
+                                .collect(Collectors.toList()))
+                .build();
+        sequential.generateOptionSettings(productCode);
+        List<OptionSetting> expected = sequential.getOptionSettings() == null
+                ? new ArrayList<>() : sequential.getOptionSettings();
+        return expected.equals(merge(shards));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * OptionValidationError e.g. duplicate sid 101 under pid 100 of product TSHIRT-001
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptionValidationError {
+    public enum Type {
+        NULL_FIELD,
+        NULL_PID,
+        DUPLICATE_PID,
+        NULL_FIELD_ORDER,
+        EMPTY_VALUES,
+        NULL_VALUE,
+        NULL_SID,
+        DUPLICATE_SID,
+        NULL_VALUE_ORDER
+    }
+
+    private Type type;
+    private String productCode;
+    // the field (or v2 option group) the error was found in
+    private Long pid;
+    // the value the error was found in
+    private Long sid;
+    private String message;
+
+    public static OptionValidationError of(Type type, String productCode, Long pid, Long sid, String message) {
+        return new OptionValidationError(type, productCode, pid, sid, message);
+    }
+}
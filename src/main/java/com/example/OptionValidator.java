@@ -0,0 +1,107 @@
+package com.example;
+
+import com.example.OptionValidationError.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks option fields before generateOptionSettings or printTree run on them.
+ * Finds null fields, values, ids and orders, empty fields, and pids or sids used twice within a product,
+ * all in one pass over the tree. Catalogs are validated in parallel, one product per task.
+ */
+public final class OptionValidator {
+
+    private OptionValidator() {
+    }
+
+    public static List<OptionValidationError> validate(Product product) {
+        return validate(product.getProductCode(), product.getProductOption());
+    }
+
+    public static List<OptionValidationError> validate(String productCode, ProductOption productOption) {
+        List<OptionValidationError> errors = new ArrayList<>();
+        if (productOption == null || productOption.getOptionFields() == null) {
+            return errors;
+        }
+
+        List<OptionField> fields = productOption.getOptionFields();
+        LongHashSet pids = new LongHashSet(fields.size());
+        LongHashSet sids = new LongHashSet(fields.size() * 8);
+        for (OptionField field : fields) {
+            if (field == null) {
+                errors.add(OptionValidationError.of(Type.NULL_FIELD, productCode, null, null,
+                        "Option field is null"));
+                continue;
+            }
+            Long pid = field.getPid();
+            if (pid == null) {
+                errors.add(OptionValidationError.of(Type.NULL_PID, productCode, null, null,
+                        "Option field " + field.getName() + " has no pid"));
+            } else if (!pids.add(pid)) {
+                errors.add(OptionValidationError.of(Type.DUPLICATE_PID, productCode, pid, null,
+                        "Duplicate pid " + pid));
+            }
+            if (field.getOrder() == null) {
+                errors.add(OptionValidationError.of(Type.NULL_FIELD_ORDER, productCode, pid, null,
+                        "Option field " + pid + " has no order"));
+            }
+            if (field.getValues() == null || field.getValues().isEmpty()) {
+                errors.add(OptionValidationError.of(Type.EMPTY_VALUES, productCode, pid, null,
+                        "Option field " + pid + " has no values"));
+                continue;
+            }
+
+            for (OptionValue value : field.getValues()) {
+                if (value == null) {
+                    errors.add(OptionValidationError.of(Type.NULL_VALUE, productCode, pid, null,
+                            "Option field " + pid + " has a null value"));
+                    continue;
+                }
+                Long sid = value.getSid();
+                if (sid == null) {
+                    errors.add(OptionValidationError.of(Type.NULL_SID, productCode, pid, null,
+                            "Option value " + value.getName() + " of field " + pid + " has no sid"));
+                } else if (!sids.add(sid)) {
+                    errors.add(OptionValidationError.of(Type.DUPLICATE_SID, productCode, pid, sid,
+                            "Duplicate sid " + sid));
+                }
+                if (value.getOrder() == null) {
+                    errors.add(OptionValidationError.of(Type.NULL_VALUE_ORDER, productCode, pid, sid,
+                            "Option value " + sid + " has no order"));
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Validate every product in parallel
+     *
+     * @return product code -> errors, only for products that have errors
+     */
+    public static Map<String, List<OptionValidationError>> validateCatalog(Collection<Product> products) {
+        return validateCatalog(products, OptionValidator::validate);
+    }
+
+    /**
+     * Validate every item in parallel with the given validator, e.g. v2 product variants
+     *
+     * @return product code -> errors, only for items that have errors
+     */
+    public static <T> Map<String, List<OptionValidationError>> validateCatalog(
+            Collection<T> items, Function<T, List<OptionValidationError>> validator) {
+        return items.parallelStream()
+                .map(validator)
+                .filter(errors -> !errors.isEmpty())
+                .collect(Collectors.toMap(errors -> errors.get(0).getProductCode(), errors -> errors,
+                        (a, b) -> {
+                            List<OptionValidationError> merged = new ArrayList<>(a);
+                            merged.addAll(b);
+                            return merged;
+                        }));
+    }
+}
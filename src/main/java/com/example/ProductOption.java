@@ -6,10 +6,13 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * ProductOption
@@ -69,6 +72,122 @@ public class ProductOption {
         }
     }
 
+    /**
+     * Return the first k option settings in display order (OptionField.order, then OptionValue.order)
+     * without generating the whole combination space. The option fields are left untouched.
+     */
+    public List<OptionSetting> topOptionSettings(String productCode, int k) {
+        return topOptionSettings(productCode, k, value -> 0);
+    }
+
+    /**
+     * Return the k option settings with the highest total score, where a setting scores the sum of
+     * its values' scores (e.g. popularity or margin). Only about k log k settings are explored.
+     * Settings with equal scores keep display order. The option fields are left untouched.
+     */
+    public List<OptionSetting> topOptionSettings(String productCode, int k, ToDoubleFunction<OptionValue> score) {
+        if (optionFields == null) {
+            return new ArrayList<>();
+        }
+
+        // Rank each field's values by score; the stable sort keeps display order among equal scores
+        List<OptionField> sortedFields = sortedFieldsCopy();
+        double[][] costs = new double[sortedFields.size()][];
+        int[][] display = new int[sortedFields.size()][];
+        for (int i = 0; i < sortedFields.size(); i++) {
+            List<OptionValue> values = sortedFields.get(i).getValues();
+            display[i] = IntStream.range(0, values.size())
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(j -> -score.applyAsDouble(values.get(j))))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            costs[i] = Arrays.stream(display[i]).mapToDouble(j -> -score.applyAsDouble(values.get(j))).toArray();
+        }
+
+        List<OptionSetting> result = new ArrayList<>();
+        for (int[] indices : CombinationRanker.topK(costs, display, k)) {
+            List<OptionFieldValue> combination = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                OptionValue value = sortedFields.get(i).getValues().get(indices[i]);
+                combination.add(new OptionFieldValue(sortedFields.get(i).getPid(), value.getSid()));
+            }
+            result.add(new OptionSetting(generateSkuCode(productCode, combination), combination));
+        }
+        return result;
+    }
+
+    /**
+     * Number of option settings generateOptionSettings would produce
+     */
+    public long combinationCount() {
+        if (optionFields == null) {
+            return 0;
+        }
+        long count = 1;
+        for (OptionField field : optionFields) {
+            count = Math.multiplyExact(count, field.getValues().size());
+        }
+        return count;
+    }
+
+    /**
+     * Generate only the option settings with ordinals in [fromOrdinal, toOrdinal), where the ordinal is the
+     * position in the sequence generateOptionSettings would produce. Skipped settings are never built,
+     * so disjoint ranges can be generated independently. The option fields are left untouched.
+     */
+    public List<OptionSetting> generateOptionSettingRange(String productCode, long fromOrdinal, long toOrdinal) {
+        long count = combinationCount();
+        if (fromOrdinal < 0 || fromOrdinal > toOrdinal || toOrdinal > count) {
+            throw new IndexOutOfBoundsException(
+                "Ordinal range [" + fromOrdinal + ", " + toOrdinal + ") out of range [0, " + count + ")");
+        }
+        List<OptionSetting> result = new ArrayList<>();
+        if (fromOrdinal == toOrdinal) {
+            return result;
+        }
+
+        // Decode the first ordinal into one value index per field, last field varying fastest
+        List<OptionField> sortedFields = sortedFieldsCopy();
+        int[] indices = new int[sortedFields.size()];
+        long remainder = fromOrdinal;
+        for (int i = sortedFields.size() - 1; i >= 0; i--) {
+            int size = sortedFields.get(i).getValues().size();
+            indices[i] = (int) (remainder % size);
+            remainder /= size;
+        }
+
+        for (long ordinal = fromOrdinal; ordinal < toOrdinal; ordinal++) {
+            List<OptionFieldValue> combination = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                OptionField field = sortedFields.get(i);
+                combination.add(new OptionFieldValue(field.getPid(), field.getValues().get(indices[i]).getSid()));
+            }
+            result.add(new OptionSetting(generateSkuCode(productCode, combination), combination));
+
+            // Advance like an odometer
+            for (int i = indices.length - 1; i >= 0; i--) {
+                if (++indices[i] < sortedFields.get(i).getValues().size()) {
+                    break;
+                }
+                indices[i] = 0;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies of the option fields sorted by OptionField.order, each with its values sorted by OptionValue.order
+     */
+    List<OptionField> sortedFieldsCopy() {
+        return optionFields.stream()
+                .sorted(Comparator.comparing(OptionField::getOrder))
+                .map(field -> new OptionField(field.getPid(), field.getName(), field.getOrder(),
+                        field.getValues().stream()
+                                .sorted(Comparator.comparing(OptionValue::getOrder))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
     private String generateSkuCode(String productCode, List<OptionFieldValue> combination) {
         return productCode + "-" + combination.stream()
                 .map(field -> field.getPid() + "-" + field.getSid())
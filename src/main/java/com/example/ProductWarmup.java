@@ -0,0 +1,193 @@
+package com.example;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precompiles hot products in the background after startup.
+ * Each product gets its option settings generated and indexed, then the generation (full and ranged),
+ * ranking and search paths are exercised a number of times so the JIT has compiled them before real traffic arrives.
+ */
+public class ProductWarmup {
+    // settings produced per hot path call, also the combination cap of the trimmed copy
+    private static final int SAMPLE_SIZE = 64;
+
+    private final OptionSearchIndex index;
+    private final int iterations;
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final CompletableFuture<WarmupReport> ready = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * @param index      index to fill with the warmed products
+     * @param iterations how often each hot path is exercised per product
+     */
+    public ProductWarmup(OptionSearchIndex index, int iterations) {
+        this.index = index;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Load the products by code and warm them up on the executor
+     */
+    public CompletableFuture<WarmupReport> start(List<String> productCodes, Function<String, Product> loader,
+                                                 Executor executor) {
+        markStarted();
+        List<CompletableFuture<Product>> loads = new ArrayList<>();
+        for (String productCode : productCodes) {
+            loads.add(CompletableFuture.supplyAsync(() -> loader.apply(productCode), executor));
+        }
+        return start(CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> loads.stream().map(CompletableFuture::join).collect(Collectors.toList())),
+                executor);
+    }
+
+    /**
+     * Read the products from a JSON snapshot file and warm them up on the executor
+     */
+    public CompletableFuture<WarmupReport> start(Path snapshot, Executor executor) {
+        markStarted();
+        return start(CompletableFuture.supplyAsync(() -> {
+            try {
+                return readSnapshot(snapshot);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read warm-up snapshot " + snapshot, e);
+            }
+        }, executor), executor);
+    }
+
+    /**
+     * Warm up products that are already loaded
+     */
+    public CompletableFuture<WarmupReport> start(Collection<Product> products, Executor executor) {
+        markStarted();
+        return start(CompletableFuture.completedFuture(new ArrayList<>(products)), executor);
+    }
+
+    // Checked before any loading is submitted, so a rejected start does no work
+    private void markStarted() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Warm-up has already been started");
+        }
+    }
+
+    private CompletableFuture<WarmupReport> start(CompletableFuture<List<Product>> loaded, Executor executor) {
+        long start = System.nanoTime();
+        AtomicLong settingCount = new AtomicLong();
+        loaded.thenCompose(loadedProducts -> {
+            List<CompletableFuture<Void>> warmups = new ArrayList<>();
+            for (Product product : loadedProducts) {
+                warmups.add(CompletableFuture.runAsync(() -> settingCount.addAndGet(warm(product)), executor));
+            }
+            return CompletableFuture.allOf(warmups.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> warmups.size());
+        }).whenComplete((productCount, error) -> {
+            if (error != null) {
+                ready.completeExceptionally(error);
+            } else {
+                ready.complete(new WarmupReport(productCount, settingCount.get(), System.nanoTime() - start));
+            }
+        });
+        return ready.copy();
+    }
+
+    private long warm(Product product) {
+        ProductOption productOption = product.getProductOption();
+        if (productOption != null && productOption.getOptionSettings() == null) {
+            productOption.generateOptionSettings(product.getProductCode());
+        }
+        if (productOption == null || productOption.getOptionSettings() == null) {
+            // Nothing to precompile, e.g. no option fields
+            products.put(product.getProductCode(), product);
+            return 0;
+        }
+        index.index(product);
+
+        List<OptionSetting> settings = productOption.getOptionSettings();
+        if (!settings.isEmpty()) {
+            Map<Long, String> fieldNames = new HashMap<>();
+            Map<Long, String> valueNames = new HashMap<>();
+            for (OptionField field : productOption.getOptionFields()) {
+                fieldNames.put(field.getPid(), field.getName());
+                field.getValues().forEach(value -> valueNames.put(value.getSid(), value.getName()));
+            }
+            Map<String, String> criteria = new HashMap<>();
+            settings.get(0).getFields().forEach(field ->
+                    criteria.put(fieldNames.get(field.getPid()), valueNames.get(field.getSid())));
+
+            // Full generation sorts and recurses over the fields; run it on a trimmed copy
+            ProductOption sample = ProductOption.builder().optionFields(sampleFields(productOption)).build();
+
+            long sampleEnd = Math.min(SAMPLE_SIZE, productOption.combinationCount());
+            for (int i = 0; i < iterations; i++) {
+                sample.generateOptionSettings(product.getProductCode());
+                productOption.generateOptionSettingRange(product.getProductCode(), 0, sampleEnd);
+                productOption.topOptionSettings(product.getProductCode(), SAMPLE_SIZE);
+                index.matchAll(criteria);
+            }
+        }
+        products.put(product.getProductCode(), product);
+        return settings.size();
+    }
+
+    /**
+     * Copies of the option fields with values dropped until there are at most SAMPLE_SIZE combinations.
+     * Every field keeps at least one value, so the generation still recurses over all fields.
+     */
+    private static List<OptionField> sampleFields(ProductOption productOption) {
+        List<OptionField> fields = new ArrayList<>();
+        long combinations = 1;
+        for (OptionField field : productOption.getOptionFields()) {
+            int keep = (int) Math.min(field.getValues().size(), Math.max(1, SAMPLE_SIZE / combinations));
+            combinations *= Math.max(1, keep);
+            fields.add(new OptionField(field.getPid(), field.getName(), field.getOrder(),
+                    new ArrayList<>(field.getValues().subList(0, keep))));
+        }
+        return fields;
+    }
+
+    /**
+     * Read a JSON array of products, as written by Gson
+     */
+    public static List<Product> readSnapshot(Path snapshot) throws IOException {
+        try (Reader reader = Files.newBufferedReader(snapshot)) {
+            Product[] products = new Gson().fromJson(reader, Product[].class);
+            return products == null ? new ArrayList<>() : Arrays.asList(products);
+        }
+    }
+
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Completes with the report once every product is warm
+     */
+    public CompletableFuture<WarmupReport> ready() {
+        return ready.copy();
+    }
+
+    /**
+     * A product that has finished warming up, or null
+     */
+    public Product getProduct(String productCode) {
+        return products.get(productCode);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock and price of a product's SKUs, indexed by SKU ordinal
+ * i.e. the index of the setting in ProductOption.optionSettings.
+ * All updates are lock-free, so hot SKUs can be decremented concurrently during flash sales.
+ * Prices are kept in minor currency units (e.g. cents).
+ */
+public class SkuOverlay {
+    // 8 longs = one 64-byte cache line, keeps hot stock counters from false sharing
+    private static final int PADDED_STRIDE = 8;
+
+    private final int size;
+    private final int stride;
+    private final AtomicLongArray stock;
+    private final AtomicLongArray prices;
+
+    public SkuOverlay(int size) {
+        this(size, false);
+    }
+
+    /**
+     * @param size   number of SKUs
+     * @param padded give every stock counter its own cache line, at 8x the stock memory
+     */
+    public SkuOverlay(int size, boolean padded) {
+        this.size = size;
+        this.stride = padded ? PADDED_STRIDE : 1;
+        this.stock = new AtomicLongArray(Math.multiplyExact(size, stride));
+        this.prices = new AtomicLongArray(size);
+    }
+
+    /**
+     * Create an overlay sized to the product's generated option settings
+     */
+    public static SkuOverlay of(ProductOption productOption, boolean padded) {
+        if (productOption.getOptionSettings() == null) {
+            throw new IllegalStateException("Option settings have not been generated");
+        }
+        return new SkuOverlay(productOption.getOptionSettings().size(), padded);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getStock(int ordinal) {
+        return stock.get(stockIndex(ordinal));
+    }
+
+    public void setStock(int ordinal, long quantity) {
+        stock.set(stockIndex(ordinal), quantity);
+    }
+
+    /**
+     * Add (or with a negative delta, remove) stock unconditionally
+     *
+     * @return the new stock
+     */
+    public long addStock(int ordinal, long delta) {
+        return stock.addAndGet(stockIndex(ordinal), delta);
+    }
+
+    /**
+     * Take quantity from the stock unless that would make it negative
+     *
+     * @param quantity positive amount to take
+     * @return true if the stock was taken
+     */
+    public boolean tryDecrementStock(int ordinal, long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        int index = stockIndex(ordinal);
+        long current = stock.get(index);
+        while (current >= quantity) {
+            long witness = stock.compareAndExchange(index, current, current - quantity);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    public long getPrice(int ordinal) {
+        return prices.get(checkOrdinal(ordinal));
+    }
+
+    public void setPrice(int ordinal, long price) {
+        prices.set(checkOrdinal(ordinal), price);
+    }
+
+    public boolean compareAndSetPrice(int ordinal, long expectedPrice, long price) {
+        return prices.compareAndSet(checkOrdinal(ordinal), expectedPrice, price);
+    }
+
+    private int stockIndex(int ordinal) {
+        return checkOrdinal(ordinal) * stride;
+    }
+
+    private int checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("SKU ordinal " + ordinal + " out of range [0, " + size + ")");
+        }
+        return ordinal;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * WarmupReport e.g. products and SKUs precompiled at startup and how long it took
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarmupReport {
+    private int productCount;
+    private long settingCount;
+    private long elapsedNanos;
+}
@@ -1,8 +1,14 @@
 package com.example.v2;
 
+import com.example.CombinationRanker;
 import lombok.Data;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Main product variant class that manages option combinations
@@ -26,6 +32,47 @@ public class ProductVariant {
         return combinations;
     }
 
+    /**
+     * Return the first k variant combinations in option order without generating the rest
+     */
+    public List<VariantCombination> topVariantCombinations(int k) {
+        return topVariantCombinations(k, value -> 0);
+    }
+
+    /**
+     * Return the k variant combinations with the highest total score, best first.
+     * Combinations with equal scores keep option order.
+     */
+    public List<VariantCombination> topVariantCombinations(int k, ToDoubleFunction<VariantOptionValue> score) {
+        List<List<VariantOptionValue>> sortedValues = new ArrayList<>();
+        double[][] costs = new double[optionGroups.size()][];
+        int[][] display = new int[optionGroups.size()][];
+        for (int i = 0; i < optionGroups.size(); i++) {
+            List<VariantOptionValue> values = optionGroups.get(i).getSortedOptions().stream()
+                    .filter(option -> option instanceof VariantOptionValue)
+                    .map(option -> (VariantOptionValue) option)
+                    .collect(Collectors.toList());
+            sortedValues.add(values);
+            // The stable sort keeps option order among equal scores
+            display[i] = IntStream.range(0, values.size())
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(j -> -score.applyAsDouble(values.get(j))))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            costs[i] = Arrays.stream(display[i]).mapToDouble(j -> -score.applyAsDouble(values.get(j))).toArray();
+        }
+
+        List<VariantCombination> result = new ArrayList<>();
+        for (int[] indices : CombinationRanker.topK(costs, display, k)) {
+            List<VariantOptionValue> values = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                values.add(sortedValues.get(i).get(indices[i]));
+            }
+            result.add(new VariantCombination(values));
+        }
+        return result;
+    }
+
     private void generateCombinationsRecursive(List<VariantOptionValue> current, 
                                              int groupIndex, 
                                              List<VariantCombination> result) {
@@ -1,19 +1,51 @@
 package com.example.v2;
 
-import lombok.Data;
+import lombok.Getter;
+import lombok.ToString;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Represents a specific combination of variant options
+ * A combination is a value snapshot: its hash code is computed once, so the option values
+ * must not be changed after they are combined.
  */
-@Data
+@ToString
 public class VariantCombination {
+    @Getter
     private final List<VariantOptionValue> optionValues;
+    @ToString.Exclude
+    private transient int hash;
+
+    public VariantCombination(List<VariantOptionValue> optionValues) {
+        this.optionValues = List.copyOf(optionValues);
+    }
 
     public String generateSkuCode() {
         return optionValues.stream()
                 .map(VariantOptionValue::getValue)
                 .collect(Collectors.joining("-"));
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VariantCombination)) {
+            return false;
+        }
+        VariantCombination other = (VariantCombination) o;
+        return hashCode() == other.hashCode() && optionValues.equals(other.optionValues);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = optionValues.hashCode();
+            hash = h;
+        }
+        return h;
+    }
 }
@@ -11,10 +11,10 @@ import lombok.AllArgsConstructor;
 public abstract class VariantOption implements Comparable<VariantOption> {
     private Long id;
     private String name;
-    private Integer order;
+    private int order;
 
     @Override
     public int compareTo(VariantOption other) {
-        return this.order.compareTo(other.order);
+        return Integer.compare(this.order, other.order);
     }
 }
@@ -14,7 +14,7 @@ import java.util.List;
 public class VariantOptionGroup extends VariantOption {
     private final List<VariantOption> options = new ArrayList<>();
 
-    public VariantOptionGroup(Long id, String name, Integer order) {
+    public VariantOptionGroup(Long id, String name, int order) {
         super(id, name, order);
     }
 
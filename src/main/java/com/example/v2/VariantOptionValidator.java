@@ -0,0 +1,79 @@
+package com.example.v2;
+
+import com.example.LongHashSet;
+import com.example.OptionValidationError;
+import com.example.OptionValidationError.Type;
+import com.example.OptionValidator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks option groups before combinations are generated.
+ * Group ids are reported as pid and value ids as sid, like the v1 OptionValidator.
+ */
+public final class VariantOptionValidator {
+
+    private VariantOptionValidator() {
+    }
+
+    public static List<OptionValidationError> validate(ProductVariant variant) {
+        String productCode = variant.getProductCode();
+        List<OptionValidationError> errors = new ArrayList<>();
+        List<VariantOptionGroup> groups = variant.getOptionGroups();
+        LongHashSet groupIds = new LongHashSet(groups.size());
+        LongHashSet valueIds = new LongHashSet(groups.size() * 8);
+        for (VariantOptionGroup group : groups) {
+            if (group == null) {
+                errors.add(OptionValidationError.of(Type.NULL_FIELD, productCode, null, null,
+                        "Option group is null"));
+                continue;
+            }
+            Long groupId = group.getId();
+            if (groupId == null) {
+                errors.add(OptionValidationError.of(Type.NULL_PID, productCode, null, null,
+                        "Option group " + group.getName() + " has no id"));
+            } else if (!groupIds.add(groupId)) {
+                errors.add(OptionValidationError.of(Type.DUPLICATE_PID, productCode, groupId, null,
+                        "Duplicate option group id " + groupId));
+            }
+
+            // Only values take part in combinations, nested groups are skipped by generation
+            int valueCount = 0;
+            for (VariantOption option : group.getOptions()) {
+                if (option == null) {
+                    errors.add(OptionValidationError.of(Type.NULL_VALUE, productCode, groupId, null,
+                            "Option group " + groupId + " has a null option"));
+                    continue;
+                }
+                if (!(option instanceof VariantOptionValue)) {
+                    continue;
+                }
+                valueCount++;
+                Long valueId = option.getId();
+                if (valueId == null) {
+                    errors.add(OptionValidationError.of(Type.NULL_SID, productCode, groupId, null,
+                            "Option value " + option.getName() + " of group " + groupId + " has no id"));
+                } else if (!valueIds.add(valueId)) {
+                    errors.add(OptionValidationError.of(Type.DUPLICATE_SID, productCode, groupId, valueId,
+                            "Duplicate option value id " + valueId));
+                }
+            }
+            if (valueCount == 0) {
+                errors.add(OptionValidationError.of(Type.EMPTY_VALUES, productCode, groupId, null,
+                        "Option group " + groupId + " has no values"));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Validate every product variant in parallel
+     *
+     * @return product code -> errors, only for variants that have errors
+     */
+    public static Map<String, List<OptionValidationError>> validateCatalog(Collection<ProductVariant> variants) {
+        return OptionValidator.validateCatalog(variants, VariantOptionValidator::validate);
+    }
+}
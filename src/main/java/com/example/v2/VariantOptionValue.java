@@ -11,7 +11,7 @@ import lombok.Getter;
 public class VariantOptionValue extends VariantOption {
     private final String value;
 
-    public VariantOptionValue(Long id, String name, Integer order, String value) {
+    public VariantOptionValue(Long id, String name, int order, String value) {
         super(id, name, order);
         this.value = value;
     }
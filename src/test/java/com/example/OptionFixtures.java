@@ -0,0 +1,47 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared test fixtures for products with generated option fields
+ */
+final class OptionFixtures {
+
+    private OptionFixtures() {
+    }
+
+    /**
+     * Option field f (pid f*100) gets valueCounts[f - 1] values (sid f*100+v, name "V"+v, order v).
+     * Fields and values are listed in reverse order so that callers exercise the sorting.
+     */
+    static ProductOption createProductOption(int... valueCounts) {
+        List<OptionField> fields = new ArrayList<>();
+        for (int f = valueCounts.length; f >= 1; f--) {
+            List<OptionValue> values = new ArrayList<>();
+            for (int v = valueCounts[f - 1]; v >= 1; v--) {
+                values.add(OptionValue.builder()
+                    .sid(f * 100L + v)
+                    .name("V" + v)
+                    .order(v)
+                    .build());
+            }
+            fields.add(OptionField.builder()
+                .pid(f * 100L)
+                .name("F" + f)
+                .order(f)
+                .values(values)
+                .build());
+        }
+        return ProductOption.builder()
+            .optionFields(fields)
+            .build();
+    }
+
+    static Product createProduct(String productCode, int... valueCounts) {
+        return Product.builder()
+            .productCode(productCode)
+            .productOption(createProductOption(valueCounts))
+            .build();
+    }
+}
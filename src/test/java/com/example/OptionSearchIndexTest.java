@@ -0,0 +1,99 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class OptionSearchIndexTest {
+
+    @Test
+    void testAndOrQueries() {
+        OptionSearchIndex index = new OptionSearchIndex();
+        index.index(createProduct("TSHIRT-001", 100L, "Red", "Blue"));
+        index.index(createProduct("HOODIE-001", 500L, "Red", "Green"));
+
+        // Color=Red AND Size=M hits one SKU in each product
+        List<String> redM = index.findSettings(Map.of("Color", "Red", "Size", "M")).stream()
+            .map(OptionSetting::getSkuCode)
+            .sorted()
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList("HOODIE-001-500-501-600-601", "TSHIRT-001-100-101-200-201"), redM);
+
+        // (Color=Blue OR Color=Green) AND Size=S
+        Map<String, BitSet> blueOrGreenS = index.match(Map.of(
+            "Color", Arrays.asList("Blue", "Green"),
+            "Size", List.of("S")));
+        assertEquals(Set.of("TSHIRT-001", "HOODIE-001"), blueOrGreenS.keySet());
+        assertEquals(1, blueOrGreenS.get("TSHIRT-001").cardinality());
+        assertEquals(1, blueOrGreenS.get("HOODIE-001").cardinality());
+
+        // Unknown values match nothing
+        assertTrue(index.matchAll(Map.of("Color", "Purple")).isEmpty());
+        assertTrue(index.matchAll(Map.of("Fabric", "Silk")).isEmpty());
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        OptionSearchIndex index = new OptionSearchIndex();
+        index.index(createProduct("TSHIRT-001", 100L, "Red", "Blue"));
+        assertEquals(2, index.findSettings(Map.of("Color", "Red")).size());
+
+        // Re-indexing replaces the old postings of the product
+        index.index(createProduct("TSHIRT-001", 100L, "Green", "Blue"));
+        assertTrue(index.findSettings(Map.of("Color", "Red")).isEmpty());
+        assertEquals(2, index.findSettings(Map.of("Color", "Green")).size());
+
+        index.remove("TSHIRT-001");
+        assertTrue(index.findSettings(Map.of("Color", "Blue")).isEmpty());
+    }
+
+    @Test
+    void testRegenerationWithoutReindexKeepsIndexedSettings() {
+        OptionSearchIndex index = new OptionSearchIndex();
+        Product product = createProduct("TSHIRT-001", 100L, "Red", "Blue");
+        index.index(product);
+
+        // Regenerate under a different code without re-indexing
+        product.getProductOption().generateOptionSettings("RENAMED");
+
+        List<String> red = index.findSettings(Map.of("Color", "Red")).stream()
+            .map(OptionSetting::getSkuCode)
+            .sorted()
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList("TSHIRT-001-100-101-200-201", "TSHIRT-001-100-102-200-201"), red);
+    }
+
+    private Product createProduct(String productCode, long basePid, String firstColor, String secondColor) {
+        long colorPid = basePid + 100;
+        Product product = Product.builder()
+            .productCode(productCode)
+            .productOption(ProductOption.builder()
+                .optionFields(Arrays.asList(
+                    OptionField.builder()
+                        .pid(basePid)
+                        .name("Size")
+                        .order(1)
+                        .values(Arrays.asList(
+                            OptionValue.builder().sid(basePid + 1).name("M").order(1).build(),
+                            OptionValue.builder().sid(basePid + 2).name("S").order(2).build()))
+                        .build(),
+                    OptionField.builder()
+                        .pid(colorPid)
+                        .name("Color")
+                        .order(2)
+                        .values(Arrays.asList(
+                            OptionValue.builder().sid(colorPid + 1).name(firstColor).order(1).build(),
+                            OptionValue.builder().sid(colorPid + 2).name(secondColor).order(2).build()))
+                        .build()))
+                .build())
+            .build();
+        product.getProductOption().generateOptionSettings(productCode);
+        return product;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+class OptionSettingKeyTest {
+
+    @Test
+    void testKeyEqualityAndOrdering() {
+        OptionSetting sRed = createSetting("TSHIRT-001-S-RED", 100L, 102L, 200L, 202L);
+        OptionSetting sRedCopy = createSetting("ANOTHER-SKU", 100L, 102L, 200L, 202L);
+        OptionSetting sBlue = createSetting("TSHIRT-001-S-BLUE", 100L, 102L, 200L, 201L);
+
+        assertEquals(sRed.toKey(), sRedCopy.toKey());
+        assertEquals(sRed.toKey().hashCode(), sRedCopy.toKey().hashCode());
+        assertNotEquals(sRed.toKey(), sBlue.toKey());
+        assertTrue(sBlue.toKey().compareTo(sRed.toKey()) < 0);
+
+        // Missing ids are keyed too
+        OptionSetting missingSid = createSetting("TSHIRT-001", 100L, null);
+        assertEquals(missingSid.toKey(), createSetting("TSHIRT-001", 100L, null).toKey());
+        assertNotEquals(missingSid.toKey(), createSetting("TSHIRT-001", 100L, 0L).toKey());
+
+        TreeSet<OptionSettingKey> sorted = new TreeSet<>(Arrays.asList(sRed.toKey(), sBlue.toKey(), sRedCopy.toKey()));
+        assertEquals(Arrays.asList(sBlue.toKey(), sRed.toKey()), new ArrayList<>(sorted));
+    }
+
+    /**
+     * Import dedup pass over 2M settings (every setting of a 100 x 100 x 100 product, twice).
+     * Both variants run the same number of rounds and the keyed variant includes compiling the keys.
+     * Run with mvn test -Pbenchmark.
+     */
+    @Test
+    @Tag("benchmark")
+    void testDedupBenchmark() {
+        int size = 100;
+        List<OptionSetting> settings = new ArrayList<>(2 * size * size * size);
+        for (int copy = 0; copy < 2; copy++) {
+            // Each copy has its own field values, so duplicates are equal but never identical
+            OptionFieldValue[][] values = new OptionFieldValue[3][size + 1];
+            for (int f = 0; f < 3; f++) {
+                for (int v = 1; v <= size; v++) {
+                    long pid = (f + 1) * 1000L;
+                    values[f][v] = new OptionFieldValue(pid, pid + v);
+                }
+            }
+            for (int a = 1; a <= size; a++) {
+                for (int b = 1; b <= size; b++) {
+                    for (int c = 1; c <= size; c++) {
+                        settings.add(new OptionSetting("SKU",
+                            Arrays.asList(values[0][a], values[1][b], values[2][c])));
+                    }
+                }
+            }
+        }
+
+        // Same warm-up for both variants; the last round is reported
+        long settingNanos = 0;
+        long keyNanos = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            Set<OptionSetting> bySetting = new HashSet<>();
+            for (OptionSetting setting : settings) {
+                bySetting.add(setting);
+            }
+            settingNanos = System.nanoTime() - start;
+            assertEquals(size * size * size, bySetting.size());
+            bySetting = null;
+
+            start = System.nanoTime();
+            Set<OptionSettingKey> byKey = new HashSet<>();
+            for (OptionSetting setting : settings) {
+                byKey.add(setting.toKey());
+            }
+            keyNanos = System.nanoTime() - start;
+            assertEquals(size * size * size, byKey.size());
+        }
+
+        System.out.printf("Dedup of %d settings: OptionSetting %.1f ms, OptionSettingKey incl. compiling %.1f ms%n",
+            settings.size(), settingNanos / 1e6, keyNanos / 1e6);
+    }
+
+    private OptionSetting createSetting(String skuCode, Long... ids) {
+        List<OptionFieldValue> fields = new ArrayList<>();
+        for (int i = 0; i < ids.length; i += 2) {
+            fields.add(new OptionFieldValue(ids[i], ids[i + 1]));
+        }
+        return new OptionSetting(skuCode, fields);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class OptionSettingShardsTest {
+
+    @Test
+    void testBalancedBounds() {
+        assertArrayEquals(new long[] {0, 4, 7, 10}, OptionSettingShards.bounds(10, 3));
+        assertArrayEquals(new long[] {0, 1, 2, 2, 2}, OptionSettingShards.bounds(2, 4));
+        assertThrows(IllegalArgumentException.class, () -> OptionSettingShards.bounds(10, 0));
+    }
+
+    @Test
+    void testShardsGeneratedInParallelMatchSequentialGeneration() throws Exception {
+        ProductOption productOption = OptionFixtures.createProductOption(3, 4, 5);
+        assertEquals(60, productOption.combinationCount());
+
+        int shardCount = 7;
+        ExecutorService executor = Executors.newFixedThreadPool(shardCount);
+        List<Future<List<OptionSetting>>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            int shardIndex = shard;
+            futures.add(executor.submit(() ->
+                OptionSettingShards.generateShard(productOption, "BIG-001", shardIndex, shardCount)));
+        }
+        List<List<OptionSetting>> shards = new ArrayList<>();
+        for (Future<List<OptionSetting>> future : futures) {
+            shards.add(future.get());
+        }
+        executor.shutdown();
+
+        assertEquals(9, shards.get(0).size());
+        assertEquals(8, shards.get(shardCount - 1).size());
+        assertTrue(OptionSettingShards.verify(productOption, "BIG-001", shards));
+
+        // Out of order shards are not the sequential generation
+        Collections.swap(shards, 0, 1);
+        assertFalse(OptionSettingShards.verify(productOption, "BIG-001", shards));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class OptionValidatorTest {
+
+    @Test
+    void testValidProductHasNoErrors() {
+        Product product = createProduct("TSHIRT-001",
+            OptionField.builder()
+                .pid(100L)
+                .name("Size")
+                .order(1)
+                .values(Arrays.asList(
+                    OptionValue.builder().sid(101L).name("M").order(1).build(),
+                    OptionValue.builder().sid(102L).name("S").order(2).build()))
+                .build());
+
+        assertTrue(OptionValidator.validate(product).isEmpty());
+    }
+
+    @Test
+    void testAllProblemsReportedInOnePass() {
+        Product product = createProduct("TSHIRT-001",
+            OptionField.builder()
+                .pid(100L)
+                .name("Size")
+                .order(1)
+                .values(Arrays.asList(
+                    OptionValue.builder().sid(101L).name("M").order(1).build(),
+                    OptionValue.builder().sid(101L).name("S").build(),
+                    null))
+                .build(),
+            OptionField.builder()
+                .pid(100L)
+                .name("Color")
+                .values(Collections.emptyList())
+                .build(),
+            OptionField.builder()
+                .name("Material")
+                .order(3)
+                .values(Arrays.asList(OptionValue.builder().name("Cotton").order(1).build()))
+                .build());
+
+        List<OptionValidationError.Type> types = OptionValidator.validate(product).stream()
+            .map(OptionValidationError::getType)
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+            OptionValidationError.Type.DUPLICATE_SID,
+            OptionValidationError.Type.NULL_VALUE_ORDER,
+            OptionValidationError.Type.NULL_VALUE,
+            OptionValidationError.Type.DUPLICATE_PID,
+            OptionValidationError.Type.NULL_FIELD_ORDER,
+            OptionValidationError.Type.EMPTY_VALUES,
+            OptionValidationError.Type.NULL_PID,
+            OptionValidationError.Type.NULL_SID), types);
+
+        OptionValidationError duplicateSid = OptionValidator.validate(product).get(0);
+        assertEquals("TSHIRT-001", duplicateSid.getProductCode());
+        assertEquals(100L, duplicateSid.getPid());
+        assertEquals(101L, duplicateSid.getSid());
+    }
+
+    @Test
+    void testValidateCatalogInParallel() {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Every tenth product reuses sid 1 for both values
+            long secondSid = i % 10 == 0 ? 1L : 2L;
+            catalog.add(createProduct("P-" + i,
+                OptionField.builder()
+                    .pid(0L)
+                    .name("Size")
+                    .order(1)
+                    .values(Arrays.asList(
+                        OptionValue.builder().sid(1L).name("M").order(1).build(),
+                        OptionValue.builder().sid(secondSid).name("S").order(2).build()))
+                    .build()));
+        }
+
+        Map<String, List<OptionValidationError>> errors = OptionValidator.validateCatalog(catalog);
+        assertEquals(100, errors.size());
+        assertEquals(OptionValidationError.Type.DUPLICATE_SID, errors.get("P-0").get(0).getType());
+        assertFalse(errors.containsKey("P-1"));
+    }
+
+    private Product createProduct(String productCode, OptionField... fields) {
+        return Product.builder()
+            .productCode(productCode)
+            .productOption(ProductOption.builder()
+                .optionFields(Arrays.asList(fields))
+                .build())
+            .build();
+    }
+}
@@ -8,7 +8,11 @@ import com.google.gson.GsonBuilder;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 class ProductTest {
 
@@ -235,6 +239,73 @@ class ProductTest {
         System.out.println("=====================================\n");
     }
 
+    @Test
+    void testTopOptionSettingsInDisplayOrder() {
+        ProductOption productOption = OptionFixtures.createProductOption(5, 5, 5, 5);
+
+        List<OptionSetting> top = productOption.topOptionSettings("BIG-001", 7);
+
+        productOption.generateOptionSettings("BIG-001");
+        List<String> expected = productOption.getOptionSettings().stream()
+            .limit(7)
+            .map(OptionSetting::getSkuCode)
+            .collect(Collectors.toList());
+        assertEquals(expected, top.stream().map(OptionSetting::getSkuCode).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTopOptionSettingsByScore() {
+        ProductOption productOption = OptionFixtures.createProductOption(6, 6, 6);
+
+        // Popularity score per sid, deliberately not aligned with display order
+        Map<Long, Double> popularity = new HashMap<>();
+        for (OptionField field : productOption.getOptionFields()) {
+            for (OptionValue value : field.getValues()) {
+                popularity.put(value.getSid(), (double) ((value.getSid() * 7) % 5));
+            }
+        }
+
+        List<OptionSetting> top = productOption.topOptionSettings("BIG-001", 10,
+            value -> popularity.get(value.getSid()));
+        assertEquals(10, top.size());
+
+        // Brute force: generate everything in display order and stable sort by total score
+        productOption.generateOptionSettings("BIG-001");
+        List<String> expected = productOption.getOptionSettings().stream()
+            .sorted(Comparator.comparingDouble((OptionSetting setting) ->
+                setting.getFields().stream().mapToDouble(f -> popularity.get(f.getSid())).sum()).reversed())
+            .limit(10)
+            .map(OptionSetting::getSkuCode)
+            .collect(Collectors.toList());
+        assertEquals(expected, top.stream().map(OptionSetting::getSkuCode).collect(Collectors.toList()));
+
+        // Tied settings keep display order: x1-y1 and x2-y2 both score 5
+        ProductOption tied = ProductOption.builder()
+            .optionFields(Arrays.asList(
+                OptionField.builder()
+                    .pid(1L)
+                    .name("X")
+                    .order(1)
+                    .values(Arrays.asList(
+                        OptionValue.builder().sid(11L).name("x1").order(1).build(),
+                        OptionValue.builder().sid(12L).name("x2").order(2).build()))
+                    .build(),
+                OptionField.builder()
+                    .pid(2L)
+                    .name("Y")
+                    .order(2)
+                    .values(Arrays.asList(
+                        OptionValue.builder().sid(21L).name("y1").order(1).build(),
+                        OptionValue.builder().sid(22L).name("y2").order(2).build()))
+                    .build()))
+            .build();
+        Map<Long, Double> tiedScores = Map.of(11L, 0.0, 12L, 5.0, 21L, 5.0, 22L, 0.0);
+        List<String> tiedTop = tied.topOptionSettings("T", 4, value -> tiedScores.get(value.getSid())).stream()
+            .map(OptionSetting::getSkuCode)
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList("T-1-12-2-21", "T-1-11-2-21", "T-1-12-2-22", "T-1-11-2-22"), tiedTop);
+    }
+
     private Product createTShirtProduct() {
         // Create size values
         OptionValue sizeM = OptionValue.builder()
@@ -0,0 +1,129 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ProductWarmupTest {
+
+    @Test
+    void testWarmupFromSnapshot(@TempDir Path tempDir) throws Exception {
+        Path snapshot = tempDir.resolve("hot-products.json");
+        Files.writeString(snapshot, new Gson().toJson(Arrays.asList(
+            OptionFixtures.createProduct("TSHIRT-001", 4, 6),
+            OptionFixtures.createProduct("HOODIE-001", 3, 5, 8))));
+
+        OptionSearchIndex index = new OptionSearchIndex();
+        ProductWarmup warmup = new ProductWarmup(index, 200);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            long start = System.nanoTime();
+            WarmupReport report = warmup.start(snapshot, executor).get(30, TimeUnit.SECONDS);
+            long startup = System.nanoTime() - start;
+
+            assertTrue(warmup.isReady());
+            assertEquals(2, report.getProductCount());
+            assertEquals(24 + 120, report.getSettingCount());
+            assertEquals(120, warmup.getProduct("HOODIE-001").getProductOption().getOptionSettings().size());
+            assertEquals(5 * 8, index.findSettings(Map.of("F1", "V1")).stream()
+                .filter(setting -> setting.getSkuCode().startsWith("HOODIE-001"))
+                .count());
+
+            // First request after warm-up
+            long requestStart = System.nanoTime();
+            warmup.getProduct("HOODIE-001").getProductOption().topOptionSettings("HOODIE-001", 10);
+            long firstRequest = System.nanoTime() - requestStart;
+
+            System.out.printf("Warm-up: %d products, %d SKUs, startup %.2f ms, first request %.3f ms%n",
+                report.getProductCount(), report.getSettingCount(), startup / 1e6, firstRequest / 1e6);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testWarmupFromProductCodes() throws Exception {
+        Map<String, Product> catalog = new HashMap<>();
+        catalog.put("TSHIRT-001", OptionFixtures.createProduct("TSHIRT-001", 2, 3));
+        catalog.put("HOODIE-001", OptionFixtures.createProduct("HOODIE-001", 2, 2));
+
+        ProductWarmup warmup = new ProductWarmup(new OptionSearchIndex(), 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertFalse(warmup.isReady());
+            WarmupReport report = warmup.start(new ArrayList<>(catalog.keySet()), catalog::get, executor)
+                .get(30, TimeUnit.SECONDS);
+            assertTrue(warmup.isReady());
+            assertEquals(2, report.getProductCount());
+            assertEquals(10, report.getSettingCount());
+
+            // A rejected second start loads nothing
+            AtomicInteger loads = new AtomicInteger();
+            assertThrows(IllegalStateException.class,
+                () -> warmup.start(List.of("TSHIRT-001"), code -> {
+                    loads.incrementAndGet();
+                    return catalog.get(code);
+                }, executor));
+            executor.submit(() -> { }).get(30, TimeUnit.SECONDS);
+            assertEquals(0, loads.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testProductWithoutOptionFieldsDoesNotFailWarmup() throws Exception {
+        Product noFields = Product.builder()
+            .productCode("GIFTCARD-001")
+            .productOption(new ProductOption())
+            .build();
+
+        ProductWarmup warmup = new ProductWarmup(new OptionSearchIndex(), 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            WarmupReport report = warmup.start(
+                List.of(noFields, OptionFixtures.createProduct("TSHIRT-001", 2, 3)), executor)
+                .get(30, TimeUnit.SECONDS);
+            assertTrue(warmup.isReady());
+            assertEquals(2, report.getProductCount());
+            assertEquals(6, report.getSettingCount());
+            assertSame(noFields, warmup.getProduct("GIFTCARD-001"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testWarmupStaysBoundedForManyFields() throws Exception {
+        // 12 fields x 4 values = 16.7M combinations; only the first settings are materialized
+        Product product = OptionFixtures.createProduct("HUGE-001", 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4);
+        ProductOption productOption = product.getProductOption();
+        productOption.setOptionSettings(productOption.generateOptionSettingRange("HUGE-001", 0, 64));
+
+        ProductWarmup warmup = new ProductWarmup(new OptionSearchIndex(), 200);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            WarmupReport report = warmup.start(List.of(product), executor).get(30, TimeUnit.SECONDS);
+            assertEquals(64, report.getSettingCount());
+            assertTrue(report.getElapsedNanos() < TimeUnit.SECONDS.toNanos(10),
+                "Warm-up took " + report.getElapsedNanos() / 1e6 + " ms");
+            System.out.printf("Warm-up of a 12-field product: %.2f ms%n", report.getElapsedNanos() / 1e6);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
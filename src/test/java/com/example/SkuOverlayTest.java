@@ -0,0 +1,78 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class SkuOverlayTest {
+
+    @Test
+    void testStockAndPrice() {
+        SkuOverlay overlay = new SkuOverlay(4);
+        overlay.setStock(2, 5);
+        overlay.setPrice(2, 1999);
+
+        assertTrue(overlay.tryDecrementStock(2, 3));
+        assertFalse(overlay.tryDecrementStock(2, 3)); // only 2 left
+        assertEquals(2, overlay.getStock(2));
+        assertEquals(12, overlay.addStock(2, 10));
+
+        assertFalse(overlay.compareAndSetPrice(2, 1000, 1500));
+        assertTrue(overlay.compareAndSetPrice(2, 1999, 1500));
+        assertEquals(1500, overlay.getPrice(2));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> overlay.getStock(4));
+        assertThrows(IllegalArgumentException.class, () -> overlay.tryDecrementStock(2, -100));
+        assertThrows(IllegalArgumentException.class, () -> overlay.tryDecrementStock(2, 0));
+        assertEquals(12, overlay.getStock(2));
+    }
+
+    @Test
+    void testConcurrentDecrementNeverOversells() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 20_000;
+        long initialStock = 50_000;
+        int hotOrdinal = 1;
+
+        for (boolean padded : new boolean[] {false, true}) {
+            SkuOverlay overlay = new SkuOverlay(4, padded);
+            overlay.setStock(hotOrdinal, initialStock);
+
+            // 160k attempts race for 50k units of one hot SKU
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<Integer>> sold = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                sold.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (overlay.tryDecrementStock(hotOrdinal, 1)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            long total = 0;
+            for (Future<Integer> future : sold) {
+                total += future.get();
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            long elapsed = System.nanoTime() - start;
+
+            // Exactly the stock sells out, nothing more
+            assertEquals(initialStock, total);
+            assertEquals(0, overlay.getStock(hotOrdinal));
+
+            System.out.printf("padded=%s: %d of %d attempts sold in %.2f ms%n",
+                padded, total, (long) threads * attemptsPerThread, elapsed / 1e6);
+        }
+    }
+}
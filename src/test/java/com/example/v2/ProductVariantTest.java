@@ -1,7 +1,11 @@
 package com.example.v2;
 
+import com.example.OptionValidationError;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,6 +55,78 @@ class ProductVariantTest {
         combinations.forEach(System.out::println);
     }
 
+    @Test
+    void testTopVariantCombinations() {
+        VariantOptionGroup sizeGroup = new VariantOptionGroup(1L, "Size", 1);
+        sizeGroup.addOption(new VariantOptionValue(1L, "Small", 1, "S"));
+        sizeGroup.addOption(new VariantOptionValue(2L, "Medium", 2, "M"));
+        sizeGroup.addOption(new VariantOptionValue(3L, "Large", 3, "L"));
+
+        VariantOptionGroup colorGroup = new VariantOptionGroup(2L, "Color", 2);
+        colorGroup.addOption(new VariantOptionValue(4L, "Red", 1, "RED"));
+        colorGroup.addOption(new VariantOptionValue(5L, "Blue", 2, "BLUE"));
+
+        ProductVariant variant = new ProductVariantBuilder()
+                .withProductCode("TSHIRT")
+                .withOptionGroup(sizeGroup)
+                .withOptionGroup(colorGroup)
+                .build();
+
+        // Without a score the first combinations follow option order
+        List<String> firstThree = variant.topVariantCombinations(3).stream()
+                .map(VariantCombination::generateSkuCode)
+                .collect(Collectors.toList());
+        assertEquals(List.of("S-RED", "S-BLUE", "M-RED"), firstThree);
+
+        // Large and Blue are the best sellers
+        List<String> featured = variant.topVariantCombinations(2, value -> {
+                    switch (value.getValue()) {
+                        case "L": return 10;
+                        case "BLUE": return 5;
+                        case "M": return 4;
+                        default: return 0;
+                    }
+                }).stream()
+                .map(VariantCombination::generateSkuCode)
+                .collect(Collectors.toList());
+        assertEquals(List.of("L-BLUE", "L-RED"), featured);
+
+        // Combinations are values, so regenerated ones dedupe against the originals
+        Set<VariantCombination> unique = new HashSet<>(variant.generateVariantCombinations());
+        unique.addAll(variant.generateVariantCombinations());
+        assertEquals(6, unique.size());
+        assertTrue(unique.containsAll(variant.topVariantCombinations(6)));
+
+        // A combination snapshots its values, later changes to the source list do not leak in
+        List<VariantOptionValue> source = new ArrayList<>(List.of(new VariantOptionValue(1L, "Small", 1, "S")));
+        VariantCombination snapshot = new VariantCombination(source);
+        int hash = snapshot.hashCode();
+        source.add(new VariantOptionValue(4L, "Red", 1, "RED"));
+        assertEquals(1, snapshot.getOptionValues().size());
+        assertEquals(hash, snapshot.hashCode());
+    }
+
+    @Test
+    void testValidateOptionGroups() {
+        VariantOptionGroup sizeGroup = new VariantOptionGroup(1L, "Size", 1);
+        sizeGroup.addOption(new VariantOptionValue(1L, "Small", 1, "S"));
+        sizeGroup.addOption(new VariantOptionValue(1L, "Medium", 2, "M"));
+
+        ProductVariant variant = new ProductVariantBuilder()
+                .withProductCode("TSHIRT")
+                .withOptionGroup(sizeGroup)
+                .withOptionGroup(new VariantOptionGroup(1L, "Color", 2))
+                .build();
+
+        List<OptionValidationError.Type> types = VariantOptionValidator.validate(variant).stream()
+                .map(OptionValidationError::getType)
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                OptionValidationError.Type.DUPLICATE_SID,
+                OptionValidationError.Type.DUPLICATE_PID,
+                OptionValidationError.Type.EMPTY_VALUES), types);
+    }
+
     @Test
     void testOptionOrdering() {
         // Create option group